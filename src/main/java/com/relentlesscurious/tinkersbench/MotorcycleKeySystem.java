@@ -3,14 +3,17 @@ package com.relentlesscurious.tinkersbench;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.ModelComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.tracker.NetworkId;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.math.vector.Vector3d;
+import java.util.UUID;
 import javax.annotation.Nonnull;
 
 public class MotorcycleKeySystem extends DelayedEntitySystem<EntityStore> {
@@ -43,10 +46,8 @@ public class MotorcycleKeySystem extends DelayedEntitySystem<EntityStore> {
       return;
     }
 
-    String modelAssetId = modelComp.getModel().getModelAssetId();
-    if (modelAssetId == null
-        || (!modelAssetId.toLowerCase().contains("motorcycle") && !modelAssetId.toLowerCase().contains("steambike")
-            && !modelAssetId.toLowerCase().contains("voidchariot"))) {
+    String bikeKey = MotorcycleSystem.resolveBikeKey(modelComp.getModel().getModelAssetId());
+    if (bikeKey == null) {
       return;
     }
 
@@ -61,12 +62,25 @@ public class MotorcycleKeySystem extends DelayedEntitySystem<EntityStore> {
     }
 
     int netId = netIdComp.getId();
-    if (!tracker.isTracked(netId)) {
-      System.out
-          .println("DEBUG: MotorcycleKeySystem found untracked motorcycle ID=" + netId + " Model=" + modelAssetId);
+    UUIDComponent uuidComp = store.getComponent(entity, UUIDComponent.getComponentType());
+    UUID vehicleId = uuidComp != null ? uuidComp.getUuid() : null;
+    Vector3d position = transform.getPosition();
+
+    if (tickVehicle(entity, netId, vehicleId, bikeKey, position, System.currentTimeMillis())) {
+      buffer.removeEntity(entity, RemoveReason.REMOVE);
     }
+  }
 
-    Vector3d position = transform.getPosition();
-    tracker.onMotorcycleSeen(netId, position);
+  /**
+   * Everything tick() does for one bike after its component lookups. Returns
+   * true if the bike was superseded by a newer spawn and should be removed now
+   * that it is loaded again.
+   */
+  boolean tickVehicle(Ref<EntityStore> entity, int netId, UUID vehicleId, String bikeKey, Vector3d position,
+      long now) {
+    boolean despawn = !tracker.onMotorcycleSeen(netId, vehicleId, bikeKey, entity, position)
+        && tracker.consumeRetired(vehicleId, now);
+    tracker.reportMetricsIfDue(now);
+    return despawn;
   }
 }
@@ -1,22 +1,47 @@
 package com.relentlesscurious.tinkersbench;
 
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class MotorcycleKeyTracker {
   private static final long PENDING_TTL_MS = 10000;
   private static final double ASSIGN_RADIUS_SQ = 100.0;
+  private static final long RETIRED_TTL_MS = 60 * 60 * 1000L;
+  private static final long METRICS_REPORT_INTERVAL_MS = 5 * 60 * 1000L;
 
   private final HytaleLogger logger;
-  private final Map<UUID, PendingSpawn> pendingByPlayer = new ConcurrentHashMap<>();
-  private final Map<UUID, Integer> activeMotorcycleByPlayer = new ConcurrentHashMap<>();
-  private final Map<Integer, UUID> ownerByNetworkId = new ConcurrentHashMap<>();
+  private final Map<OwnerKey, PendingSpawn> pendingByOwner = new ConcurrentHashMap<>();
+
+  // Everything below is guarded by ownershipLock. Ownership is keyed on the
+  // vehicle's persistent UUID; the network id and ref are runtime handles that
+  // are re-bound whenever the bike is loaded again.
+  private final Object ownershipLock = new Object();
+  private final Map<OwnerKey, UUID> vehicleByOwner = new HashMap<>();
+  private final Map<UUID, OwnedVehicle> ownedVehicles = new HashMap<>();
+  // Primitive keys: onMotorcycleSeen runs every tick for every bike
+  private final Int2ObjectOpenHashMap<OwnedVehicle> ownedByNetworkId = new Int2ObjectOpenHashMap<>();
+  // Superseded bikes to despawn when next loaded, with their expiry time. The
+  // expiry bounds the map for bikes that never load again.
+  private final Map<UUID, Long> retiredUntil = new HashMap<>();
+
+  private final AtomicLong recalls = new AtomicLong();
+  private final AtomicLong spawns = new AtomicLong();
+  private final AtomicLong retiredDespawns = new AtomicLong();
+  private final AtomicLong nextMetricsReportAt = new AtomicLong();
+  private long lastReportedTotal;
 
   public MotorcycleKeyTracker(HytaleLogger logger) {
     this.logger = logger;
@@ -42,91 +67,328 @@ public class MotorcycleKeyTracker {
         || normalizedPath.contains("voidchariot_key");
   }
 
-  public boolean hasPending(UUID playerId) {
-    PendingSpawn pending = pendingByPlayer.get(playerId);
+  public boolean hasPending(UUID playerId, String bikeKey) {
+    PendingSpawn pending = pendingByOwner.get(new OwnerKey(playerId, bikeKey));
     return pending != null && !pending.isExpired(System.currentTimeMillis());
   }
 
-  public void markPending(UUID playerId, Vector3d position) {
+  public void markPending(UUID playerId, String bikeKey, Vector3d position) {
     long expiresAt = System.currentTimeMillis() + PENDING_TTL_MS;
-    pendingByPlayer.put(playerId, new PendingSpawn(position, expiresAt));
+    pendingByOwner.put(new OwnerKey(playerId, bikeKey), new PendingSpawn(position, expiresAt));
   }
 
-  public Integer getActiveMotorcycle(UUID playerId) {
-    return activeMotorcycleByPlayer.get(playerId);
+  /**
+   * Decides whether a key use recalls the player's bike of the given kind.
+   *
+   * Returns the bike's entity when it is loaded in the given store; the caller
+   * moves it to the player. Otherwise returns null and the caller spawns a new
+   * bike. Destroyed bikes are already released by onMotorcycleRemoved, so an
+   * owned bike without a live ref here is unloaded or in another world. It
+   * cannot be moved from here, so it is retired instead of orphaned: ownership
+   * is released and MotorcycleKeySystem despawns it if it loads again within
+   * RETIRED_TTL_MS. Either way the player never ends up with two bikes.
+   */
+  public Ref<EntityStore> claimForRecall(UUID playerId, String bikeKey, Store<EntityStore> store) {
+    synchronized (ownershipLock) {
+      UUID vehicleId = vehicleByOwner.get(new OwnerKey(playerId, bikeKey));
+      if (vehicleId == null) {
+        return null;
+      }
+
+      OwnedVehicle owned = ownedVehicles.get(vehicleId);
+      Ref<EntityStore> ref = owned != null ? owned.ref : null;
+      if (ref != null && ref.isValid() && ref.getStore() == store) {
+        recalls.incrementAndGet();
+        return ref;
+      }
+
+      long now = System.currentTimeMillis();
+      retiredUntil.values().removeIf(expiresAt -> expiresAt < now);
+      retiredUntil.put(vehicleId, now + RETIRED_TTL_MS);
+      releaseLocked(vehicleId);
+      return null;
+    }
   }
 
-  public void clearActive(UUID playerId) {
-    Integer networkId = activeMotorcycleByPlayer.remove(playerId);
-    if (networkId != null) {
-      ownerByNetworkId.remove(networkId);
+  public void clearActive(UUID playerId, String bikeKey) {
+    synchronized (ownershipLock) {
+      UUID vehicleId = vehicleByOwner.get(new OwnerKey(playerId, bikeKey));
+      if (vehicleId != null) {
+        releaseLocked(vehicleId);
+      }
     }
   }
 
   public void clearActiveByNetworkId(int networkId) {
-    UUID owner = ownerByNetworkId.remove(networkId);
-    if (owner != null) {
-      activeMotorcycleByPlayer.remove(owner);
+    synchronized (ownershipLock) {
+      OwnedVehicle owned = ownedByNetworkId.get(networkId);
+      if (owned != null) {
+        releaseLocked(owned.vehicleId);
+      }
     }
   }
 
-  public void assignMotorcycle(UUID playerId, int networkId) {
-    activeMotorcycleByPlayer.put(playerId, networkId);
-    ownerByNetworkId.put(networkId, playerId);
-    logger.atInfo().log("Assigned motorcycle %d to player %s", networkId, playerId);
+  public void assignMotorcycle(UUID playerId, String bikeKey, int networkId, UUID vehicleId,
+      Ref<EntityStore> ref) {
+    synchronized (ownershipLock) {
+      OwnerKey owner = new OwnerKey(playerId, bikeKey);
+      UUID previous = vehicleByOwner.get(owner);
+      if (previous != null && !previous.equals(vehicleId)) {
+        releaseLocked(previous);
+      }
+
+      OwnedVehicle owned = new OwnedVehicle(owner, vehicleId);
+      vehicleByOwner.put(owner, vehicleId);
+      ownedVehicles.put(vehicleId, owned);
+      bindLocked(owned, networkId, ref);
+    }
+    spawns.incrementAndGet();
+    logger.atInfo().log("Assigned %s %d to player %s", bikeKey, networkId, playerId);
   }
 
   public boolean isTracked(int networkId) {
-    return ownerByNetworkId.containsKey(networkId);
+    synchronized (ownershipLock) {
+      return ownedByNetworkId.containsKey(networkId);
+    }
   }
 
-  public void onMotorcycleSeen(int networkId, Vector3d position) {
-    if (ownerByNetworkId.containsKey(networkId)) {
+  /**
+   * Called when a bike entity is added to a store (spawned or loaded), so a
+   * recall right after a chunk load sees the live ref.
+   */
+  public void onMotorcycleLoaded(UUID vehicleId, Ref<EntityStore> ref) {
+    if (vehicleId == null) {
       return;
     }
+    synchronized (ownershipLock) {
+      OwnedVehicle owned = ownedVehicles.get(vehicleId);
+      if (owned != null) {
+        owned.ref = ref;
+      }
+    }
+  }
+
+  /**
+   * Called when a bike entity is removed for good (destroyed or despawned, not
+   * unloaded). Releases its ownership without retiring it.
+   */
+  public void onMotorcycleRemoved(UUID vehicleId) {
+    if (vehicleId == null) {
+      return;
+    }
+    synchronized (ownershipLock) {
+      retiredUntil.remove(vehicleId);
+      if (ownedVehicles.containsKey(vehicleId)) {
+        releaseLocked(vehicleId);
+      }
+    }
+  }
+
+  /**
+   * Called for every bike on every key-system tick. Returns true if the bike is
+   * owned (already, or claimed by a pending spawn of the same kind during this
+   * call).
+   */
+  public boolean onMotorcycleSeen(int networkId, UUID vehicleId, String bikeKey, Ref<EntityStore> ref,
+      Vector3d position) {
+    if (vehicleId == null) {
+      return false;
+    }
+
+    synchronized (ownershipLock) {
+      OwnedVehicle owned = ownedByNetworkId.get(networkId);
+      if (owned == null || !owned.vehicleId.equals(vehicleId)) {
+        // Not bound under this network id; it may be an owned bike that was reloaded
+        owned = ownedVehicles.get(vehicleId);
+      }
+      if (owned != null) {
+        if (owned.networkId != networkId || owned.ref != ref) {
+          bindLocked(owned, networkId, ref);
+        }
+        return true;
+      }
+
+      // Never hand a superseded bike to a nearby pending player
+      if (retiredUntil.containsKey(vehicleId)) {
+        return false;
+      }
+    }
+
+    // Steady state: nothing is waiting to be claimed, so skip cleanup and logging
+    if (pendingByOwner.isEmpty()) {
+      return false;
+    }
 
     long now = System.currentTimeMillis();
     cleanupExpired(now);
 
-    UUID bestPlayer = null;
+    OwnerKey bestOwner = null;
     double bestDistSq = ASSIGN_RADIUS_SQ;
 
-    if (!pendingByPlayer.isEmpty()) {
-      logger.atInfo().log("Motorcycle seen (untracked) at %s. Checking against %d pending requests...", position,
-          pendingByPlayer.size());
-      System.out.println("TINKERS DEBUG: Motorcycle seen (untracked) at " + position + ". Checking against "
-          + pendingByPlayer.size() + " pending requests.");
-    }
+    logger.atFine().log("Untracked %s seen at %s. Checking against %d pending requests...", bikeKey, position,
+        pendingByOwner.size());
 
-    for (Map.Entry<UUID, PendingSpawn> entry : pendingByPlayer.entrySet()) {
+    for (Map.Entry<OwnerKey, PendingSpawn> entry : pendingByOwner.entrySet()) {
       PendingSpawn pending = entry.getValue();
-      if (pending == null || pending.isExpired(now)) {
+      if (pending == null || pending.isExpired(now) || !entry.getKey().bikeKey.equals(bikeKey)) {
         continue;
       }
 
       double distSq = pending.distanceSq(position);
-      logger.atInfo().log(" - Candidate player %s pending pos %s distSq=%.2f (limit %.2f)",
-          entry.getKey(), pending.position, distSq, ASSIGN_RADIUS_SQ);
-      System.out.println("TINKERS DEBUG: - Candidate player " + entry.getKey() + " pending pos " + pending.position
-          + " distSq=" + distSq);
+      logger.atFine().log(" - Candidate player %s pending pos %s distSq=%.2f (limit %.2f)",
+          entry.getKey().playerId, pending.position, distSq, ASSIGN_RADIUS_SQ);
 
       if (distSq <= bestDistSq) {
         bestDistSq = distSq;
-        bestPlayer = entry.getKey();
+        bestOwner = entry.getKey();
+      }
+    }
+
+    if (bestOwner != null) {
+      pendingByOwner.remove(bestOwner);
+      assignMotorcycle(bestOwner.playerId, bikeKey, networkId, vehicleId, ref);
+      return true;
+    }
+
+    logger.atFine().log("No matching player found for %s at %s", bikeKey, position);
+    return false;
+  }
+
+  /**
+   * Returns true (once) if the bike was retired by claimForRecall and should be
+   * despawned now that it has been seen again.
+   */
+  public boolean consumeRetired(UUID vehicleId, long now) {
+    if (vehicleId == null) {
+      return false;
+    }
+    synchronized (ownershipLock) {
+      Long expiresAt = retiredUntil.remove(vehicleId);
+      if (expiresAt == null || expiresAt < now) {
+        return false;
       }
     }
+    retiredDespawns.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Logs the recall counters at most once per interval, and only when they have
+   * changed since the last report.
+   */
+  public void reportMetricsIfDue(long now) {
+    long dueAt = nextMetricsReportAt.get();
+    if (now < dueAt || !nextMetricsReportAt.compareAndSet(dueAt, now + METRICS_REPORT_INTERVAL_MS)) {
+      return;
+    }
+
+    long recalled = recalls.get();
+    long spawned = spawns.get();
+    long despawned = retiredDespawns.get();
+    long total = recalled + spawned + despawned;
+    if (total == lastReportedTotal) {
+      return;
+    }
+    lastReportedTotal = total;
+    logger.atInfo().log("Vehicle keys: %d recalls (spawns avoided), %d new spawns, %d superseded bikes despawned",
+        recalled, spawned, despawned);
+  }
+
+  public long getRecallCount() {
+    return recalls.get();
+  }
+
+  public long getSpawnCount() {
+    return spawns.get();
+  }
+
+  public long getRetiredDespawnCount() {
+    return retiredDespawns.get();
+  }
+
+  UUID getOwner(int networkId) {
+    synchronized (ownershipLock) {
+      OwnedVehicle owned = ownedByNetworkId.get(networkId);
+      return owned != null ? owned.owner.playerId : null;
+    }
+  }
+
+  Ref<EntityStore> getRef(int networkId) {
+    synchronized (ownershipLock) {
+      OwnedVehicle owned = ownedByNetworkId.get(networkId);
+      return owned != null ? owned.ref : null;
+    }
+  }
+
+  int retiredCount() {
+    synchronized (ownershipLock) {
+      return retiredUntil.size();
+    }
+  }
 
-    if (bestPlayer != null) {
-      pendingByPlayer.remove(bestPlayer);
-      assignMotorcycle(bestPlayer, networkId);
-    } else if (!pendingByPlayer.isEmpty()) {
-      logger.atInfo().log("No matching player found for motorcycle at %s", position);
-      System.out.println("TINKERS DEBUG: No matching player found for motorcycle at " + position);
+  private void bindLocked(OwnedVehicle owned, int networkId, Ref<EntityStore> ref) {
+    if (owned.networkId != networkId && ownedByNetworkId.get(owned.networkId) == owned) {
+      ownedByNetworkId.remove(owned.networkId);
+    }
+    owned.networkId = networkId;
+    owned.ref = ref;
+    ownedByNetworkId.put(networkId, owned);
+  }
+
+  private void releaseLocked(UUID vehicleId) {
+    OwnedVehicle owned = ownedVehicles.remove(vehicleId);
+    if (owned == null) {
+      return;
+    }
+    if (vehicleId.equals(vehicleByOwner.get(owned.owner))) {
+      vehicleByOwner.remove(owned.owner);
+    }
+    if (ownedByNetworkId.get(owned.networkId) == owned) {
+      ownedByNetworkId.remove(owned.networkId);
     }
   }
 
   private void cleanupExpired(long now) {
-    pendingByPlayer.entrySet().removeIf(entry -> entry.getValue() == null || entry.getValue().isExpired(now));
+    pendingByOwner.entrySet().removeIf(entry -> entry.getValue() == null || entry.getValue().isExpired(now));
+  }
+
+  private static final class OwnerKey {
+    private final UUID playerId;
+    private final String bikeKey;
+
+    private OwnerKey(UUID playerId, String bikeKey) {
+      this.playerId = playerId;
+      this.bikeKey = bikeKey;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof OwnerKey)) {
+        return false;
+      }
+      OwnerKey key = (OwnerKey) other;
+      return playerId.equals(key.playerId) && bikeKey.equals(key.bikeKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(playerId, bikeKey);
+    }
+  }
+
+  private static final class OwnedVehicle {
+    private final OwnerKey owner;
+    private final UUID vehicleId;
+    private int networkId;
+    private Ref<EntityStore> ref;
+
+    private OwnedVehicle(OwnerKey owner, UUID vehicleId) {
+      this.owner = owner;
+      this.vehicleId = vehicleId;
+    }
   }
 
   private static final class PendingSpawn {
@@ -0,0 +1,66 @@
+package com.relentlesscurious.tinkersbench;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.ModelComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps MotorcycleKeyTracker's runtime handles in step with bike entities:
+ * re-binds the ref when an owned bike is loaded, and releases ownership when a
+ * bike is removed for good. Unloads keep ownership so the bike can still be
+ * recognised when its chunk comes back.
+ */
+public class MotorcycleLifecycleSystem extends RefSystem<EntityStore> {
+  private final MotorcycleKeyTracker tracker;
+
+  public MotorcycleLifecycleSystem(MotorcycleKeyTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  public Query<EntityStore> getQuery() {
+    return Query.and(
+        ModelComponent.getComponentType(),
+        UUIDComponent.getComponentType());
+  }
+
+  @Override
+  public void onEntityAdded(@Nonnull Ref<EntityStore> ref, @Nonnull AddReason reason,
+      @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> buffer) {
+    UUID vehicleId = getBikeId(ref, store);
+    if (vehicleId != null) {
+      tracker.onMotorcycleLoaded(vehicleId, ref);
+    }
+  }
+
+  @Override
+  public void onEntityRemove(@Nonnull Ref<EntityStore> ref, @Nonnull RemoveReason reason,
+      @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> buffer) {
+    if (reason == RemoveReason.UNLOAD) {
+      return;
+    }
+    UUID vehicleId = getBikeId(ref, store);
+    if (vehicleId != null) {
+      tracker.onMotorcycleRemoved(vehicleId);
+    }
+  }
+
+  private static UUID getBikeId(Ref<EntityStore> ref, Store<EntityStore> store) {
+    ModelComponent modelComp = store.getComponent(ref, ModelComponent.getComponentType());
+    if (modelComp == null || modelComp.getModel() == null
+        || MotorcycleSystem.resolveBikeKey(modelComp.getModel().getModelAssetId()) == null) {
+      return null;
+    }
+    UUIDComponent uuidComp = store.getComponent(ref, UUIDComponent.getComponentType());
+    return uuidComp != null ? uuidComp.getUuid() : null;
+  }
+}
@@ -22,6 +22,9 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.util.MathUtil;
 
 import com.relentlesscurious.tinkersbench.config.TinkersBenchConfig;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -31,17 +34,24 @@ public class MotorcycleSystem extends DelayedEntitySystem<EntityStore> {
   private static final String SOUND_NAMESPACE = "relentlessCurious";
   private static final String SOUND_EVENT_PATH = "SFX/NPC/Vehicles/Motorcycle/";
 
-  private final Map<Integer, String> lastSoundKey = new HashMap<>();
-  private final Map<Integer, Long> lastSoundPlayMs = new HashMap<>();
+  private static final long NEVER_PLAYED = Long.MIN_VALUE;
+  private static final String BIKE_MOTORCYCLE = "motorcycle";
+  private static final String BIKE_STEAMBIKE = "steambike";
+  private static final String BIKE_VOIDCHARIOT = "voidchariot";
+
+  // Keyed by primitive network id so the steady-state tick does not box
+  private final Int2ObjectOpenHashMap<String> lastSoundKey = new Int2ObjectOpenHashMap<>();
+  private final Int2LongOpenHashMap lastSoundPlayMs = new Int2LongOpenHashMap();
   private final Map<String, Integer> soundIndexCache = new HashMap<>();
-  private final Map<Integer, Vector3d> previousPositions = new HashMap<>();
-  private final java.util.Set<Integer> diagnosedEntities = new java.util.HashSet<>();
+  private final Int2ObjectOpenHashMap<Vector3d> previousPositions = new Int2ObjectOpenHashMap<>();
+  private final IntOpenHashSet diagnosedEntities = new IntOpenHashSet();
   private SoundCategory resolvedSoundCategory;
   private final TinkersBenchConfig config;
 
   public MotorcycleSystem(HytaleLogger logger, TinkersBenchConfig config) {
     super(0.05f); // 20 TPS
     this.config = config;
+    lastSoundPlayMs.defaultReturnValue(NEVER_PLAYED);
   }
 
   @Override
@@ -66,9 +76,8 @@ public class MotorcycleSystem extends DelayedEntitySystem<EntityStore> {
       return;
 
     String modelAssetId = modelComp.getModel().getModelAssetId();
-    if (modelAssetId == null
-        || (!modelAssetId.toLowerCase().contains("motorcycle") && !modelAssetId.toLowerCase().contains("steambike")
-            && !modelAssetId.toLowerCase().contains("voidchariot")))
+    String bikeKey = resolveBikeKey(modelAssetId);
+    if (bikeKey == null)
       return;
 
     NetworkId netIdComp = store.getComponent(entity, NetworkId.getComponentType());
@@ -76,52 +85,47 @@ public class MotorcycleSystem extends DelayedEntitySystem<EntityStore> {
       return;
     int networkId = netIdComp.getId();
 
+    TransformComponent transform = store.getComponent(entity, TransformComponent.getComponentType());
+    MovementStatesComponent moveComp = store.getComponent(entity, MovementStatesComponent.getComponentType());
+    Vector3d position = transform.getPosition();
+    MovementStates states = moveComp != null ? moveComp.getMovementStates() : null;
+
+    PlaySoundEvent3D packet = tickVehicle(networkId, bikeKey, modelAssetId, position, states, delta,
+        System.currentTimeMillis());
+    if (packet != null) {
+      sendSoundPacket(store, position, packet);
+    }
+  }
+
+  /**
+   * Everything tick() does for one bike after its component lookups. Returns the
+   * engine sound packet to send this tick, or null.
+   */
+  PlaySoundEvent3D tickVehicle(int networkId, String bikeKey, String modelAssetId, Vector3d position,
+      MovementStates states, float delta, long now) {
     // Diagnostics: Print components once per entity
-    if (!diagnosedEntities.contains(networkId)) {
-      diagnosedEntities.add(networkId);
+    if (diagnosedEntities.add(networkId)) {
       System.out.println("[TinkersBench] Diagnosing entity " + networkId + " (" + modelAssetId + ")");
       if (config != null && config.bikes != null) {
-        String carKey = "motorcycle";
-        if (modelAssetId.toLowerCase().contains("steambike")) {
-          carKey = "steambike";
-        } else if (modelAssetId.toLowerCase().contains("voidchariot")) {
-          carKey = "voidchariot";
-        }
-        TinkersBenchConfig.BikeConfig bikeConfig = config.bikes.get(carKey);
+        TinkersBenchConfig.BikeConfig bikeConfig = config.bikes.get(bikeKey);
         if (bikeConfig != null && bikeConfig.power != null) {
-          System.out.println("[TinkersBench] Config found for " + carKey + ": BaseSpeed=" + bikeConfig.power.baseSpeed);
+          System.out.println("[TinkersBench] Config found for " + bikeKey + ": BaseSpeed=" + bikeConfig.power.baseSpeed);
         }
       }
       // TODO: List all components to find MovementConfig
     }
 
-    TransformComponent transform = store.getComponent(entity, TransformComponent.getComponentType());
-    MovementStatesComponent moveComp = store.getComponent(entity, MovementStatesComponent.getComponentType());
     boolean isRunning = false;
     boolean isWalking = false;
     boolean isSprinting = false;
 
-    if (moveComp != null) {
-      MovementStates states = moveComp.getMovementStates();
+    if (states != null) {
       isRunning = states.running;
       isWalking = states.walking;
       isSprinting = states.sprinting;
     } else {
       // Fallback: Manual velocity calculation
-      Vector3d currentPos = transform.getPosition();
-      Vector3d previousPos = previousPositions.get(networkId);
-
-      double speed = 0.0;
-      if (previousPos != null) {
-        double dx = currentPos.x - previousPos.x;
-        double dy = currentPos.y - previousPos.y;
-        double dz = currentPos.z - previousPos.z;
-        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
-        speed = dist / delta;
-      }
-
-      previousPositions.put(networkId, new Vector3d(currentPos.x, currentPos.y, currentPos.z));
-
+      double speed = updateFallbackSpeed(networkId, position, delta);
       if (speed > 5.0f) {
         isRunning = true;
       } else if (speed > 0.1f) {
@@ -130,36 +134,105 @@ public class MotorcycleSystem extends DelayedEntitySystem<EntityStore> {
     }
 
     // Sound Logic
-    String baseId = "SFX_Motorcycle_Idle";
-    if (isSprinting) {
-      baseId = "SFX_Motorcycle_Drive_Fast";
-    } else if (isRunning || isWalking) {
-      baseId = "SFX_Motorcycle_Drive";
+    String baseId = selectSoundId(isSprinting, isRunning || isWalking);
+    int newSoundIndex = getSoundIndex(baseId);
+
+    if (newSoundIndex < 0) {
+      return null;
     }
 
-    String lastKey = lastSoundKey.get(networkId);
-    Long lastPlayedAt = lastSoundPlayMs.get(networkId);
-    long now = System.currentTimeMillis();
+    if (!shouldPlaySound(networkId, baseId, now)) {
+      return null;
+    }
 
-    int newSoundIndex = getSoundIndex(baseId);
+    Position soundPos = new Position(position.x, position.y, position.z);
+    return new PlaySoundEvent3D(newSoundIndex, getSoundCategory(), soundPos, 1.0f, 1.0f);
+  }
 
-    if (newSoundIndex < 0) {
-      return;
+  /**
+   * Returns the speed since the previous tick and records the current position,
+   * reusing the stored vector once the entity has been seen.
+   */
+  private double updateFallbackSpeed(int networkId, Vector3d currentPos, float delta) {
+    Vector3d previousPos = previousPositions.get(networkId);
+    if (previousPos == null) {
+      previousPositions.put(networkId, new Vector3d(currentPos.x, currentPos.y, currentPos.z));
+      return 0.0;
+    }
+
+    double dx = currentPos.x - previousPos.x;
+    double dy = currentPos.y - previousPos.y;
+    double dz = currentPos.z - previousPos.z;
+    double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+    previousPos.x = currentPos.x;
+    previousPos.y = currentPos.y;
+    previousPos.z = currentPos.z;
+    return dist / delta;
+  }
+
+  private static String selectSoundId(boolean sprinting, boolean moving) {
+    if (sprinting) {
+      return "SFX_Motorcycle_Drive_Fast";
+    }
+    if (moving) {
+      return "SFX_Motorcycle_Drive";
     }
+    return "SFX_Motorcycle_Idle";
+  }
+
+  /**
+   * Decides whether the engine sound should be (re)triggered for this entity
+   * and records the emission if so.
+   */
+  private boolean shouldPlaySound(int networkId, String baseId, long now) {
+    String lastKey = lastSoundKey.get(networkId);
+    long lastPlayedAt = lastSoundPlayMs.get(networkId);
 
     boolean keyChanged = lastKey == null || !lastKey.equals(baseId);
     long intervalMs = getSoundIntervalMs(baseId);
-    boolean intervalElapsed = lastPlayedAt == null || (now - lastPlayedAt) >= intervalMs;
+    boolean intervalElapsed = lastPlayedAt == NEVER_PLAYED || (now - lastPlayedAt) >= intervalMs;
 
     if (keyChanged || intervalElapsed) {
       lastSoundKey.put(networkId, baseId);
       lastSoundPlayMs.put(networkId, now);
+      return true;
+    }
+    return false;
+  }
 
-      sendSoundPacket(store, transform, newSoundIndex, 1.0f);
+  /**
+   * Maps a model asset id to its bike config key, or null if the model is not a
+   * bike. Uses case-insensitive region matching so the per-tick check does not
+   * allocate a lowercased copy of the id.
+   */
+  static String resolveBikeKey(String modelAssetId) {
+    if (modelAssetId == null) {
+      return null;
+    }
+    if (containsIgnoreCase(modelAssetId, BIKE_STEAMBIKE)) {
+      return BIKE_STEAMBIKE;
+    }
+    if (containsIgnoreCase(modelAssetId, BIKE_VOIDCHARIOT)) {
+      return BIKE_VOIDCHARIOT;
     }
+    if (containsIgnoreCase(modelAssetId, BIKE_MOTORCYCLE)) {
+      return BIKE_MOTORCYCLE;
+    }
+    return null;
   }
 
-  private int getSoundIndex(String simpleId) {
+  private static boolean containsIgnoreCase(String haystack, String needle) {
+    int max = haystack.length() - needle.length();
+    for (int i = 0; i <= max; i++) {
+      if (haystack.regionMatches(true, i, needle, 0, needle.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  int getSoundIndex(String simpleId) {
     return soundIndexCache.computeIfAbsent(simpleId, k -> {
       String namespacedPath = SOUND_NAMESPACE + ":" + SOUND_EVENT_PATH + k;
       String namespacedLower = SOUND_NAMESPACE.toLowerCase(Locale.ROOT) + ":" + SOUND_EVENT_PATH + k;
@@ -214,13 +287,7 @@ public class MotorcycleSystem extends DelayedEntitySystem<EntityStore> {
     return 100L;
   }
 
-  private void sendSoundPacket(Store<EntityStore> store, TransformComponent transform, int soundIndex,
-      float volume) {
-    Vector3d position = transform.getPosition();
-
-    SoundCategory category = getSoundCategory();
-    Position soundPos = new Position(position.x, position.y, position.z);
-    PlaySoundEvent3D packet = new PlaySoundEvent3D(soundIndex, category, soundPos, volume, 1.0f);
+  private void sendSoundPacket(Store<EntityStore> store, Vector3d position, PlaySoundEvent3D packet) {
     long chunkIndex = ChunkUtil.indexChunkFromBlock(MathUtil.floor(position.x), MathUtil.floor(position.z));
     store.getExternalData().getWorld().getNotificationHandler().sendPacketIfChunkLoaded(packet, chunkIndex);
   }
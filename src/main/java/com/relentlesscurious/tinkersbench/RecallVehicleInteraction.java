@@ -0,0 +1,98 @@
+package com.relentlesscurious.tinkersbench;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.protocol.InteractionState;
+import com.hypixel.hytale.protocol.InteractionType;
+import com.hypixel.hytale.server.core.entity.InteractionContext;
+import com.hypixel.hytale.server.core.entity.UUIDComponent;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.CooldownHandler;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.SimpleInstantInteraction;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.UUID;
+import javax.annotation.Nonnull;
+
+/**
+ * First step of a key's SpawnNPC_Entity chain. Recalls the user's existing
+ * vehicle to them and succeeds, or fails so the chain's Failed branch (the
+ * key's SpawnNPC) creates a new one. Runs on the world thread as part of the
+ * interaction tick, so all component access goes through its command buffer.
+ */
+public class RecallVehicleInteraction extends SimpleInstantInteraction {
+  public static final String TYPE_ID = "TinkersBench_RecallVehicle";
+  public static final BuilderCodec<RecallVehicleInteraction> CODEC = BuilderCodec
+      .builder(RecallVehicleInteraction.class, RecallVehicleInteraction::new, SimpleInstantInteraction.CODEC)
+      .documentation("Recalls the user's existing vehicle, failing when a new one should be spawned.")
+      .append(new KeyedCodec<>("BikeKey", Codec.STRING),
+          (interaction, value) -> interaction.bikeKey = value,
+          interaction -> interaction.bikeKey)
+      .add()
+      .build();
+
+  // Horizontal distance in front of the player, matching the key's SpawnOffset height
+  private static final double RECALL_DISTANCE = 2.0;
+  private static final double RECALL_OFFSET_Y = 1.0;
+
+  // Config key of the bike this key owns ("motorcycle", "steambike", ...), as
+  // returned by MotorcycleSystem.resolveBikeKey
+  private String bikeKey;
+
+  @Override
+  @SuppressWarnings("null")
+  protected void firstRun(@Nonnull InteractionType type, @Nonnull InteractionContext context,
+      @Nonnull CooldownHandler cooldownHandler) {
+    TinkersBenchPlugin plugin = TinkersBenchPlugin.get();
+    CommandBuffer<EntityStore> buffer = context.getCommandBuffer();
+    Ref<EntityStore> playerRef = context.getEntity();
+    if (plugin == null || bikeKey == null || buffer == null || playerRef == null || !playerRef.isValid()) {
+      context.getState().state = InteractionState.Failed;
+      return;
+    }
+
+    UUIDComponent uuidComp = buffer.getComponent(playerRef, UUIDComponent.getComponentType());
+    TransformComponent playerTransform = buffer.getComponent(playerRef, TransformComponent.getComponentType());
+    if (uuidComp == null || playerTransform == null) {
+      context.getState().state = InteractionState.Failed;
+      return;
+    }
+
+    UUID playerId = uuidComp.getUuid();
+    Vector3d playerPos = playerTransform.getPosition();
+    MotorcycleKeyTracker tracker = plugin.getKeyTracker();
+
+    boolean recallEnabled = plugin.isRecallEnabled();
+    if (recallEnabled && tracker.hasPending(playerId, bikeKey)) {
+      // A bike spawned by an earlier use has not been claimed yet; finish without
+      // spawning another one
+      return;
+    }
+
+    Ref<EntityStore> vehicle = recallEnabled ? tracker.claimForRecall(playerId, bikeKey, playerRef.getStore()) : null;
+    if (vehicle == null) {
+      // Fall through to SpawnNPC and let MotorcycleKeySystem claim the new bike
+      tracker.markPending(playerId, bikeKey, new Vector3d(playerPos.x, playerPos.y, playerPos.z));
+      context.getState().state = InteractionState.Failed;
+      return;
+    }
+
+    float yaw = playerTransform.getRotation().getYaw();
+    Vector3d target = new Vector3d(
+        playerPos.x - Math.sin(yaw) * RECALL_DISTANCE,
+        playerPos.y + RECALL_OFFSET_Y,
+        playerPos.z - Math.cos(yaw) * RECALL_DISTANCE);
+
+    TransformComponent vehicleTransform = buffer.getComponent(vehicle, TransformComponent.getComponentType());
+    Vector3f rotation = vehicleTransform != null ? vehicleTransform.getRotation().clone() : new Vector3f(0, yaw, 0);
+
+    // putComponent replaces a Teleport still pending from a key press earlier this tick
+    buffer.putComponent(vehicle, Teleport.getComponentType(), new Teleport(target, rotation));
+  }
+}
@@ -1,5 +1,6 @@
 package com.relentlesscurious.tinkersbench;
 
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.relentlesscurious.tinkersbench.config.ConfigManager;
@@ -10,10 +11,26 @@ import javax.annotation.Nonnull;
  * Handles specialized motorcycle entity logic.
  */
 public class TinkersBenchPlugin extends JavaPlugin {
+  private static TinkersBenchPlugin instance;
+
   private ConfigManager configManager;
+  private MotorcycleKeyTracker keyTracker;
 
   public TinkersBenchPlugin(@Nonnull JavaPluginInit init) {
     super(init);
+    instance = this;
+  }
+
+  public static TinkersBenchPlugin get() {
+    return instance;
+  }
+
+  public MotorcycleKeyTracker getKeyTracker() {
+    return keyTracker;
+  }
+
+  public boolean isRecallEnabled() {
+    return configManager.getConfig() == null || configManager.getConfig().recallExistingVehicle;
   }
 
   @Override
@@ -26,12 +43,20 @@ public class TinkersBenchPlugin extends JavaPlugin {
     // Apply recipe overrides using direct Asset modification
     new RecipeApplier(getLogger(), configManager.getConfig()).applyHelper();
 
-    // Event listeners disabled in favor of JSON configuration for Hytale compliance
+    // Event listeners disabled in favor of JSON configuration for Hytale compliance.
+    // Key recall runs inside the keys' interaction chains instead (see
+    // RecallVehicleInteraction).
     // getEventRegistry().registerGlobal(EntityRemoveEvent.class,
     // this::handleEntityRemove);
-    // getEventRegistry().registerGlobal(PlayerInteractEvent.class,
-    // this::handleInteract);
 
     getEntityStoreRegistry().registerSystem(new MotorcycleSystem(getLogger(), configManager.getConfig()));
+
+    // Key recall: the keys' JSON chains reference this interaction type, so it is
+    // registered even when recall is disabled (it then always falls through to SpawnNPC)
+    this.keyTracker = new MotorcycleKeyTracker(getLogger());
+    getCodecRegistry(Interaction.CODEC).register(RecallVehicleInteraction.TYPE_ID, RecallVehicleInteraction.class,
+        RecallVehicleInteraction.CODEC);
+    getEntityStoreRegistry().registerSystem(new MotorcycleKeySystem(keyTracker));
+    getEntityStoreRegistry().registerSystem(new MotorcycleLifecycleSystem(keyTracker));
   }
 }
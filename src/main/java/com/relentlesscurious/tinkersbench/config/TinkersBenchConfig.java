@@ -4,6 +4,8 @@ import java.util.Map;
 
 public class TinkersBenchConfig {
   public Map<String, BikeConfig> bikes;
+  // Using a key recalls the player's existing vehicle instead of spawning another
+  public boolean recallExistingVehicle = true;
 
   public static class BikeConfig {
     public boolean craftable = true;
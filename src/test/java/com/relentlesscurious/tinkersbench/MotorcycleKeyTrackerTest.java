@@ -0,0 +1,182 @@
+package com.relentlesscurious.tinkersbench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MotorcycleKeyTrackerTest {
+  private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+  private static final String MOTORCYCLE = "motorcycle";
+  private static final String STEAMBIKE = "steambike";
+
+  private final UUID player = UUID.randomUUID();
+  private final UUID vehicleId = UUID.randomUUID();
+  private final Vector3d position = new Vector3d(10.0, 64.0, 10.0);
+
+  private MotorcycleKeyTracker tracker;
+  private Store<EntityStore> store;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    tracker = new MotorcycleKeyTracker(LOGGER);
+    store = mock(Store.class);
+  }
+
+  @Test
+  void recallsLoadedBikeInSameWorld() {
+    Ref<EntityStore> ref = loadedRef(store);
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, ref);
+
+    assertSame(ref, tracker.claimForRecall(player, MOTORCYCLE, store));
+    assertTrue(tracker.isTracked(1001));
+    assertEquals(1, tracker.getRecallCount());
+  }
+
+  @Test
+  void otherKeyDoesNotRecallDifferentBikeKind() {
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, loadedRef(store));
+
+    assertNull(tracker.claimForRecall(player, STEAMBIKE, store));
+    // The motorcycle is untouched and still recallable with its own key
+    assertTrue(tracker.isTracked(1001));
+    assertEquals(0, tracker.retiredCount());
+  }
+
+  @Test
+  void pendingSpawnOnlyClaimsBikeOfSameKind() {
+    tracker.markPending(player, STEAMBIKE, position);
+
+    assertFalse(tracker.onMotorcycleSeen(1001, vehicleId, MOTORCYCLE, loadedRef(store), position));
+    assertTrue(tracker.hasPending(player, STEAMBIKE));
+
+    UUID steambikeId = UUID.randomUUID();
+    assertTrue(tracker.onMotorcycleSeen(1002, steambikeId, STEAMBIKE, loadedRef(store), position));
+    assertEquals(player, tracker.getOwner(1002));
+    assertFalse(tracker.hasPending(player, STEAMBIKE));
+    assertEquals(1, tracker.getSpawnCount());
+  }
+
+  @Test
+  void reloadedBikeIsRecognisedByUuidUnderNewNetworkId() {
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, loadedRef(store));
+
+    // Chunk reload: same persistent UUID, new runtime network id and ref
+    Ref<EntityStore> reloaded = loadedRef(store);
+    tracker.onMotorcycleLoaded(vehicleId, reloaded);
+    assertTrue(tracker.onMotorcycleSeen(2002, vehicleId, MOTORCYCLE, reloaded, position));
+
+    assertFalse(tracker.isTracked(1001));
+    assertEquals(player, tracker.getOwner(2002));
+    assertSame(reloaded, tracker.claimForRecall(player, MOTORCYCLE, store));
+  }
+
+  @Test
+  void unloadedBikeIsRetiredAndDespawnedWhenItReturns() {
+    Ref<EntityStore> ref = mockRef();
+    when(ref.isValid()).thenReturn(false);
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, ref);
+
+    assertNull(tracker.claimForRecall(player, MOTORCYCLE, store));
+    assertFalse(tracker.isTracked(1001));
+    assertNull(tracker.getRef(1001));
+    assertEquals(0, tracker.getRecallCount());
+
+    // Not handed to a nearby pending player, despawned once
+    tracker.markPending(UUID.randomUUID(), MOTORCYCLE, position);
+    assertFalse(tracker.onMotorcycleSeen(2002, vehicleId, MOTORCYCLE, ref, position));
+    long now = System.currentTimeMillis();
+    assertTrue(tracker.consumeRetired(vehicleId, now));
+    assertFalse(tracker.consumeRetired(vehicleId, now));
+  }
+
+  @Test
+  void retiredEntriesExpire() {
+    Ref<EntityStore> ref = mockRef();
+    when(ref.isValid()).thenReturn(false);
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, ref);
+    assertNull(tracker.claimForRecall(player, MOTORCYCLE, store));
+
+    long farFuture = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+    assertFalse(tracker.consumeRetired(vehicleId, farFuture));
+    assertEquals(0, tracker.retiredCount());
+  }
+
+  @Test
+  void removedBikeIsReleasedWithoutBeingRetired() {
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, loadedRef(store));
+
+    tracker.onMotorcycleRemoved(vehicleId);
+
+    assertFalse(tracker.isTracked(1001));
+    assertNull(tracker.claimForRecall(player, MOTORCYCLE, store));
+    assertEquals(0, tracker.retiredCount());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void bikeInAnotherWorldIsRetiredInsteadOfRecalled() {
+    Ref<EntityStore> ref = loadedRef(mock(Store.class));
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, ref);
+
+    assertNull(tracker.claimForRecall(player, MOTORCYCLE, store));
+    assertFalse(tracker.isTracked(1001));
+    assertFalse(tracker.onMotorcycleSeen(1001, vehicleId, MOTORCYCLE, ref, position));
+    assertTrue(tracker.consumeRetired(vehicleId, System.currentTimeMillis()));
+  }
+
+  @Test
+  void assignReplacesPreviousBikeConsistently() {
+    Ref<EntityStore> first = loadedRef(store);
+    Ref<EntityStore> second = loadedRef(store);
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, first);
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1002, UUID.randomUUID(), second);
+
+    assertNull(tracker.getOwner(1001));
+    assertNull(tracker.getRef(1001));
+    assertEquals(player, tracker.getOwner(1002));
+    assertSame(second, tracker.getRef(1002));
+    assertSame(second, tracker.claimForRecall(player, MOTORCYCLE, store));
+    assertEquals(2, tracker.getSpawnCount());
+  }
+
+  @Test
+  void clearActiveByNetworkIdReleasesBothDirections() {
+    tracker.assignMotorcycle(player, MOTORCYCLE, 1001, vehicleId, loadedRef(store));
+
+    tracker.clearActiveByNetworkId(1001);
+
+    assertFalse(tracker.isTracked(1001));
+    assertNull(tracker.getOwner(1001));
+    assertNull(tracker.getRef(1001));
+    assertNull(tracker.claimForRecall(player, MOTORCYCLE, store));
+    // Released, not retired: nothing to despawn later
+    assertFalse(tracker.consumeRetired(vehicleId, System.currentTimeMillis()));
+  }
+
+  private Ref<EntityStore> loadedRef(Store<EntityStore> owningStore) {
+    Ref<EntityStore> ref = mockRef();
+    when(ref.isValid()).thenReturn(true);
+    when(ref.getStore()).thenReturn(owningStore);
+    return ref;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Ref<EntityStore> mockRef() {
+    return mock(Ref.class);
+  }
+}
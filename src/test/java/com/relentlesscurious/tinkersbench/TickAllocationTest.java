@@ -0,0 +1,156 @@
+package com.relentlesscurious.tinkersbench;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.protocol.MovementStates;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation-rate regression tests for the per-vehicle tick paths.
+ *
+ * Each path is warmed up, then driven for MEASURED_TICKS over VEHICLES
+ * vehicles while the current thread's allocated bytes are sampled. The
+ * average bytes per vehicle per tick must stay within the budget.
+ *
+ * The systems' tick() methods only do component lookups before handing off to
+ * tickVehicle, which is what these tests run. The lookups need a live Store
+ * and ArchetypeChunk and are not measured; neither is the network send of the
+ * sound packet. Building the packet is measured.
+ */
+class TickAllocationTest {
+  // Budgets, in bytes per vehicle per tick.
+  // MotorcycleSystem emits at most one engine sound per bike per tick, as a
+  // Position (~40 bytes) and a PlaySoundEvent3D (~32 bytes) with compressed
+  // oops. The budget allows for that emission on every tick, not another object.
+  private static final double MOTORCYCLE_SYSTEM_WITH_EMISSION_BUDGET = 96.0;
+  // The key system and tracker allocate nothing in steady state; these budgets
+  // are below the size of the smallest object.
+  private static final double KEY_SYSTEM_BUDGET = 8.0;
+  private static final double ON_MOTORCYCLE_SEEN_BUDGET = 8.0;
+
+  private static final int VEHICLES = 64;
+  private static final int WARMUP_TICKS = 20_000;
+  private static final int MEASURED_TICKS = 2_000;
+  private static final long TICK_MS = 50L;
+  private static final float TICK_DELTA = 0.05f;
+
+  private static final String[] MODEL_IDS = {
+      "Vehicles/Motorcycle", "Vehicles/Steambike", "Vehicles/VoidChariot", "NPC/Vehicles/Motorcycle"
+  };
+
+  private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+  private final int[] networkIds = new int[VEHICLES];
+  private final UUID[] vehicleIds = new UUID[VEHICLES];
+  private final String[] bikeKeys = new String[VEHICLES];
+  private final Vector3d[] positions = new Vector3d[VEHICLES];
+  private final MovementStates[] movementStates = new MovementStates[VEHICLES];
+
+  private MotorcycleSystem motorcycleSystem;
+  private MotorcycleKeySystem keySystem;
+  private MotorcycleKeyTracker tracker;
+  private long emitted;
+
+  @BeforeEach
+  void setUp() {
+    motorcycleSystem = new MotorcycleSystem(LOGGER, null) {
+      @Override
+      int getSoundIndex(String simpleId) {
+        // Sound assets are not loaded in unit tests
+        return 1;
+      }
+    };
+    tracker = new MotorcycleKeyTracker(LOGGER);
+    keySystem = new MotorcycleKeySystem(tracker);
+    emitted = 0;
+
+    for (int i = 0; i < VEHICLES; i++) {
+      // Outside the Integer cache so any boxing shows up as an allocation
+      networkIds[i] = 10_000 + i;
+      vehicleIds[i] = UUID.randomUUID();
+      bikeKeys[i] = MotorcycleSystem.resolveBikeKey(MODEL_IDS[i % MODEL_IDS.length]);
+      positions[i] = new Vector3d(i * 4.0, 64.0, 0.0);
+
+      if ((i & 1) == 0) {
+        // Reports movement states: sprinting, so Drive_Fast fires every tick
+        MovementStates states = new MovementStates();
+        states.sprinting = true;
+        movementStates[i] = states;
+
+        // Owned; the odd half stays untracked with no pending spawn
+        tracker.assignMotorcycle(UUID.randomUUID(), bikeKeys[i], networkIds[i], vehicleIds[i], null);
+      }
+    }
+  }
+
+  @Test
+  void motorcycleSystemTickVehicleWithSoundEmissionStaysWithinBudget() {
+    assertWithinBudget("MotorcycleSystem.tickVehicle", MOTORCYCLE_SYSTEM_WITH_EMISSION_BUDGET, tick -> {
+      long now = tick * TICK_MS;
+      for (int i = 0; i < VEHICLES; i++) {
+        positions[i].x += (tick % 3) * 0.25;
+        if (motorcycleSystem.tickVehicle(networkIds[i], bikeKeys[i], MODEL_IDS[i % MODEL_IDS.length],
+            positions[i], movementStates[i], TICK_DELTA, now) != null) {
+          emitted++;
+        }
+      }
+    });
+    assertTrue(emitted > 0, "Sound emission path was not exercised");
+  }
+
+  @Test
+  void motorcycleKeySystemTickVehicleStaysWithinBudget() {
+    assertWithinBudget("MotorcycleKeySystem.tickVehicle", KEY_SYSTEM_BUDGET, tick -> {
+      long now = tick * TICK_MS;
+      for (int i = 0; i < VEHICLES; i++) {
+        // The tracker only compares refs by identity on this path
+        if (keySystem.tickVehicle(null, networkIds[i], vehicleIds[i], bikeKeys[i], positions[i], now)) {
+          throw new AssertionError("Unexpected retired bike in steady state");
+        }
+      }
+    });
+  }
+
+  @Test
+  void onMotorcycleSeenStaysWithinBudget() {
+    assertWithinBudget("MotorcycleKeyTracker.onMotorcycleSeen", ON_MOTORCYCLE_SEEN_BUDGET, tick -> {
+      for (int i = 0; i < VEHICLES; i++) {
+        tracker.onMotorcycleSeen(networkIds[i], vehicleIds[i], bikeKeys[i], null, positions[i]);
+      }
+    });
+  }
+
+  private void assertWithinBudget(String path, double budgetBytes, TickBody body) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation accounting unavailable");
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+      body.run(tick);
+    }
+
+    long threadId = Thread.currentThread().threadId();
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int tick = WARMUP_TICKS; tick < WARMUP_TICKS + MEASURED_TICKS; tick++) {
+      body.run(tick);
+    }
+    long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+    double perVehiclePerTick = (double) allocated / ((double) VEHICLES * MEASURED_TICKS);
+    assertTrue(perVehiclePerTick <= budgetBytes,
+        String.format("%s allocated %.2f bytes per vehicle per tick (budget %.2f, total %d bytes)",
+            path, perVehiclePerTick, budgetBytes, allocated));
+  }
+
+  @FunctionalInterface
+  private interface TickBody {
+    void run(int tick);
+  }
+}